@@ -46,6 +46,11 @@ class CertifyRequest(BaseModel):
     metadata: Optional[Dict[str, Any]] = None
 
 
+class CertifyBatchRequest(BaseModel):
+    """批量存证请求"""
+    requests: List[CertifyRequest]
+
+
 class VerifyRequest(BaseModel):
     """验证请求"""
     knowledge_id: int
@@ -55,8 +60,8 @@ class VerifyRequest(BaseModel):
 class TransactionResponse(BaseModel):
     """交易响应"""
     transaction_id: Optional[int] = None
-    block_index: int
-    status: str  # pending, confirmed
+    block_index: Optional[int] = None
+    status: str  # pending, confirmed, invalid
     timestamp: str
 
 
@@ -184,6 +189,63 @@ async def certify(request: CertifyRequest, background_tasks: BackgroundTasks):
         raise HTTPException(status_code=500, detail=str(e))
 
 
+@app.post("/api/blockchain/certify/batch", response_model=List[TransactionResponse])
+async def certify_batch(request: CertifyBatchRequest, background_tasks: BackgroundTasks):
+    """批量存证接口
+    
+    将一批存证交易打包进同一个区块，按请求顺序返回每条交易的结果；
+    无效交易单独返回invalid状态，不影响同批其他交易
+    """
+    try:
+        transactions = []
+        for item in request.requests:
+            transaction = Transaction(
+                type=item.type,
+                knowledge_id=item.knowledge_id,
+                user_id=item.user_id,
+                content_hash=item.content_hash,
+                metadata=item.metadata or {}
+            )
+            transactions.append(transaction if transaction.validate() else None)
+        
+        valid = [transaction for transaction in transactions if transaction is not None]
+        block_index = None
+        for transaction in valid:
+            block_index = blockchain.add_transaction(transaction)
+        
+        block = blockchain.create_block() if valid else None
+        if block:
+            background_tasks.add_task(save_block_to_db, block)
+            block_index = block.index
+        
+        # 有效交易在区块中按提交顺序排在末尾
+        offset = len(block.transactions) - len(valid) if block else 0
+        responses = []
+        position = 0
+        for transaction in transactions:
+            if transaction is None:
+                responses.append(TransactionResponse(
+                    transaction_id=None,
+                    block_index=None,
+                    status="invalid",
+                    timestamp=datetime.now().isoformat()
+                ))
+                continue
+            position += 1
+            responses.append(TransactionResponse(
+                transaction_id=offset + position if block else None,
+                block_index=block_index,
+                status="confirmed" if block else "pending",
+                timestamp=transaction.timestamp
+            ))
+        return responses
+    
+    except HTTPException:
+        raise
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=str(e))
+
+
 @app.post("/api/blockchain/verify", response_model=VerifyResponse)
 async def verify(request: VerifyRequest):
     """验证接口
@@ -285,6 +347,35 @@ async def get_block(index: int):
     return block.to_dict()
 
 
+@app.get("/api/blockchain/blocks")
+async def get_blocks(start: int = 0, end: Optional[int] = None):
+    """按索引区间批量获取区块
+    
+    返回 [start, end) 区间内的区块，单次最多返回100个
+    """
+    if start < 0:
+        raise HTTPException(status_code=400, detail="start must not be negative")
+    
+    stop = len(blockchain.chain) if end is None else min(end, len(blockchain.chain))
+    stop = min(stop, start + 100)
+    return [blockchain.chain[i].to_dict() for i in range(start, stop)]
+
+
+@app.get("/api/blockchain/tip")
+async def get_tip():
+    """获取链顶信息
+    
+    只返回最新区块的索引和哈希，不做全链校验，供调用方高频轮询
+    """
+    latest = blockchain.get_latest_block()
+    return {
+        "index": latest.index,
+        "hash": latest.hash,
+        "chain_length": len(blockchain.chain),
+        "pending_transactions_count": len(blockchain.pending_transactions)
+    }
+
+
 @app.get("/api/blockchain/user/{user_id}/transactions")
 async def get_user_transactions(user_id: int, transaction_type: Optional[str] = None):
     """获取用户的所有交易"""
@@ -168,13 +168,15 @@ CREATE TABLE notifications (
     content TEXT NOT NULL COMMENT '通知内容',
     related_id BIGINT COMMENT '关联ID(知识内容ID等)',
     related_user_id BIGINT COMMENT '相关的用户ID',
+    actor_count INT NOT NULL DEFAULT 1 COMMENT '合并后的点赞人数或评论条数',
     is_read TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否已读: 0-未读, 1-已读',
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     INDEX idx_user_id (user_id),
     INDEX idx_type (type),
     INDEX idx_is_read (is_read),
-    INDEX idx_created_at (created_at)
+    INDEX idx_created_at (created_at),
+    INDEX idx_user_type_related (user_id, type, related_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='通知表';
 
 -- ========================================
@@ -384,6 +386,16 @@ CREATE TABLE file_uploads (
     INDEX idx_file_hash (file_hash)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文件上传表';
 
+-- 内容寻址文件表：相同内容的上传共用一个物理文件
+CREATE TABLE file_blobs (
+    file_hash VARCHAR(64) PRIMARY KEY COMMENT '文件SHA256哈希值',
+    file_path VARCHAR(500) NOT NULL COMMENT '物理文件路径',
+    file_size BIGINT NOT NULL COMMENT '文件大小',
+    ref_count INT NOT NULL DEFAULT 0 COMMENT '引用它的正常文件记录数',
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='内容寻址文件表';
+
 -- ========================================
 -- 17. 外部数据源表 (ExternalSource) - 必须在 external_contents 之前创建
 -- ========================================
@@ -403,12 +415,20 @@ CREATE TABLE external_sources (
     total_crawled BIGINT NOT NULL DEFAULT 0 COMMENT '总抓取次数',
     total_success BIGINT NOT NULL DEFAULT 0 COMMENT '总成功次数',
     total_failed BIGINT NOT NULL DEFAULT 0 COMMENT '总失败次数',
+    etag VARCHAR(255) COMMENT '列表页ETag',
+    last_modified VARCHAR(64) COMMENT '列表页Last-Modified',
+    page_hash VARCHAR(64) COMMENT '列表页内容哈希',
+    visit_weight DOUBLE NOT NULL DEFAULT 0 COMMENT '衰减后的抓取次数',
+    change_weight DOUBLE NOT NULL DEFAULT 0 COMMENT '衰减后的变化次数',
+    observed_hours DOUBLE NOT NULL DEFAULT 0 COMMENT '衰减后的抓取间隔总时长(小时)',
+    next_crawl_at DATETIME COMMENT '下次抓取时间',
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     INDEX idx_source_url (source_url),
     INDEX idx_source_type (source_type),
     INDEX idx_status (status),
-    INDEX idx_last_crawl_at (last_crawl_at)
+    INDEX idx_last_crawl_at (last_crawl_at),
+    INDEX idx_next_crawl_at (next_crawl_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='外部数据源表';
 
 -- ========================================
@@ -434,6 +454,9 @@ CREATE TABLE external_contents (
     published_at DATETIME COMMENT '发布时间',
     crawled_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '抓取时间',
     last_updated_at DATETIME COMMENT '最后更新时间',
+    etag VARCHAR(255) COMMENT '原始页面ETag',
+    last_modified VARCHAR(64) COMMENT '原始页面Last-Modified',
+    simhash BIGINT COMMENT '标题和正文的64位SimHash指纹',
     created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (source_id) REFERENCES external_sources(id) ON DELETE CASCADE,
@@ -497,6 +520,28 @@ CREATE TABLE system_logs (
     INDEX idx_level (level)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='系统日志表';
 
+-- ========================================
+-- 21. 系统广播表 (SystemBroadcast) - 全站通知只存一行，读取时合并到用户通知
+-- ========================================
+CREATE TABLE system_broadcasts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL COMMENT '通知标题',
+    content TEXT NOT NULL COMMENT '通知内容',
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='系统广播表';
+
+-- ========================================
+-- 22. 广播阅读水位表 (BroadcastWatermark) - 每个用户一行
+-- ========================================
+CREATE TABLE broadcast_watermarks (
+    user_id BIGINT PRIMARY KEY COMMENT '用户ID',
+    last_read_id BIGINT NOT NULL DEFAULT 0 COMMENT '已读到的广播ID',
+    cleared_id BIGINT NOT NULL DEFAULT 0 COMMENT '已清除到的广播ID',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='广播阅读水位表';
+
 -- ========================================
 -- 创建触发器
 -- ========================================